@@ -2,6 +2,7 @@ package com.attendance.attendance_system;
 
 import com.attendance.attendance_system.model.User;
 import com.attendance.attendance_system.repository.UserRepository;
+import com.attendance.attendance_system.service.ChangeVersionService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +13,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class DataLoader {
 
     @Bean
-    CommandLineRunner initDatabase(UserRepository repo, PasswordEncoder encoder) {
+    CommandLineRunner initDatabase(UserRepository repo, PasswordEncoder encoder, ChangeVersionService changeVersionService) {
         return args -> {
             if (repo.findByEmail("riyamehta@gmail.com").isEmpty()) {
                 User user = new User();
@@ -21,6 +22,8 @@ public class DataLoader {
                 user.setPassword(encoder.encode("12345678"));
                 user.setSection("A");
                 repo.save(user);
+                // Runs after the web server started; a sections view cached before this must not stay current
+                changeVersionService.studentsChanged();
                 System.out.println("Inserted default user into MongoDB");
             }
         };
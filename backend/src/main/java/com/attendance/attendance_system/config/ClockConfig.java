@@ -0,0 +1,19 @@
+package com.attendance.attendance_system.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * The time source for session windows and view expiry; tests replace it to move time forward
+     * without sleeping.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
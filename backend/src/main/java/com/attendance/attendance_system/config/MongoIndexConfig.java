@@ -0,0 +1,129 @@
+package com.attendance.attendance_system.config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    /**
+     * Creates the indexes declared on the document classes once all beans exist, which is before
+     * the embedded web server starts, so no request runs without them. Unlike
+     * spring.data.mongodb.auto-index-creation, existing data that would break a unique index is
+     * reported up front with the offending values instead of failing inside the mapping context.
+     * An index that already exists on the same keys is kept as is, whatever its name, so indexes
+     * created by hand (email_1 and the like) don't conflict with the declared ones.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        IndexResolver resolver = IndexResolver.create(mongoMappingContext);
+
+        for (Class<?> type : List.of(User.class, Session.class)) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            List<IndexInfo> existing = indexOps.getIndexInfo();
+
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                Optional<IndexInfo> match = existing.stream()
+                        .filter(info -> sameKeys(info, index.getIndexKeys()))
+                        .findFirst();
+                if (match.isPresent()) {
+                    checkCompatible(type, index, match.get());
+                    continue;
+                }
+                // Only a missing unique index needs the data checked; an existing one already rules out duplicates
+                checkUnique(type, index);
+                indexOps.ensureIndex(index);
+            }
+        }
+    }
+
+    private static boolean sameKeys(IndexInfo info, Document keys) {
+        List<IndexField> fields = info.getIndexFields();
+        if (fields.size() != keys.size()) {
+            return false;
+        }
+
+        Iterator<IndexField> field = fields.iterator();
+        for (Map.Entry<String, Object> key : keys.entrySet()) {
+            IndexField next = field.next();
+            if (!(key.getValue() instanceof Number direction) || !next.getKey().equals(key.getKey())) {
+                return false;
+            }
+            Sort.Direction expected = direction.intValue() < 0 ? Sort.Direction.DESC : Sort.Direction.ASC;
+            if (next.getDirection() != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An existing index on the declared keys is good enough unless the declaration asks for
+     * uniqueness the existing index does not enforce; that one has to be rebuilt by hand.
+     */
+    private void checkCompatible(Class<?> type, IndexDefinition index, IndexInfo existing) {
+        boolean unique = Boolean.TRUE.equals(index.getIndexOptions().getBoolean("unique"));
+        if (unique && !existing.isUnique()) {
+            String collection = mongoTemplate.getCollectionName(type);
+            throw new IllegalStateException("Index " + existing.getName() + " on " + collection + " "
+                    + index.getIndexKeys().toJson() + " is not unique, but the application requires it to be."
+                    + " Drop it (db." + collection + ".dropIndex(\"" + existing.getName() + "\")) and restart"
+                    + " so it is rebuilt as a unique index.");
+        }
+    }
+
+    /**
+     * Fails startup with the duplicate values when a unique index cannot be built on the current data.
+     * Sparse indexes ignore documents without the field; others treat a missing field as null.
+     */
+    private void checkUnique(Class<?> type, IndexDefinition index) {
+        Document options = index.getIndexOptions();
+        Document keys = index.getIndexKeys();
+        if (!Boolean.TRUE.equals(options.getBoolean("unique")) || keys.size() != 1) {
+            return;
+        }
+
+        String field = keys.keySet().iterator().next();
+        List<Document> pipeline = new ArrayList<>();
+        if (Boolean.TRUE.equals(options.getBoolean("sparse"))) {
+            pipeline.add(new Document("$match", new Document(field, new Document("$exists", true))));
+        }
+        pipeline.add(new Document("$group", new Document("_id", "$" + field).append("count", new Document("$sum", 1))));
+        pipeline.add(new Document("$match", new Document("count", new Document("$gt", 1))));
+        pipeline.add(new Document("$limit", 5));
+
+        String collection = mongoTemplate.getCollectionName(type);
+        List<Object> duplicates = new ArrayList<>();
+        mongoTemplate.getCollection(collection).aggregate(pipeline).forEach(group -> duplicates.add(group.get("_id")));
+
+        if (!duplicates.isEmpty()) {
+            throw new IllegalStateException("Cannot create unique index on " + collection + "." + field
+                    + ": duplicate values " + duplicates + ". Remove or merge the duplicate documents"
+                    + " in the " + collection + " collection before starting the application.");
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.attendance.attendance_system.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,12 +17,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam; // Use Lombok's RequiredArgsConstructor
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.attendance.attendance_system.dto.AttendanceLogEntry;
 import com.attendance.attendance_system.dto.CheckInRecord;
 import com.attendance.attendance_system.dto.TokenResponse;
 import com.attendance.attendance_system.model.Session;
 import com.attendance.attendance_system.repository.SessionRepository;
+import com.attendance.attendance_system.service.AttendanceReportService;
 import com.attendance.attendance_system.service.AttendanceService;
+import com.attendance.attendance_system.service.ChangeVersionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,18 +38,25 @@ public class AdminController {
 
     private final AttendanceService attendanceService;
     private final SessionRepository sessionRepository;
+    private final ChangeVersionService changeVersionService;
+    private final CachedViewResponses cachedViewResponses;
+    private final AttendanceReportService attendanceReportService;
 
     private static final String ADMIN = "admin";
+    private static final String SESSIONS_VIEW = "sessions";
 
     // Lombok handles the constructor for final fields:
     // public AdminController(AttendanceService attendanceService) { this.attendanceService = attendanceService; }
 
+    /**
+     * Served from the response cache while the sessions version is unchanged.
+     * The version also moves when a session expires. Accept: application/x-jackson-smile
+     * selects the compact encoding.
+     */
     @GetMapping("/sessions")
-    public ResponseEntity<List<Map<String, Object>>> getActiveSessions() {
-        // NOTE: The List<Map<String, Object>> import is missing in the file you provided,
-        // but Spring will handle the return type if the method exists.
-        List<Map<String, Object>> sessions = attendanceService.getActiveSessions();
-        return ResponseEntity.ok(sessions);
+    public ResponseEntity<byte[]> getActiveSessions(NativeWebRequest request) {
+        return cachedViewResponses.render(SESSIONS_VIEW, changeVersionService.sessionsVersion(),
+                request, attendanceService::getActiveSessions);
     }
 
     @PostMapping("/generate-token")
@@ -71,23 +85,49 @@ public class AdminController {
      * Each element contains session info and the user check-in record.
      */
     @GetMapping("/attendance")
-    public ResponseEntity<List<Map<String, Object>>> getAllAttendance() {
-        List<Map<String, Object>> results = new ArrayList<>();
+    public ResponseEntity<List<AttendanceLogEntry>> getAllAttendance() {
+        List<AttendanceLogEntry> results = new ArrayList<>();
         List<Session> sessions = sessionRepository.findAll();
         for (Session s : sessions) {
             List<CheckInRecord> records = attendanceService.getCheckInRecords(s.getSessionToken());
             for (CheckInRecord r : records) {
-                Map<String, Object> m = new HashMap<>();
-                m.put("sessionToken", s.getSessionToken());
-                m.put("sessionName", s.getSessionName());
-                m.put("userId", r.userId());
-                m.put("checkInTime", r.checkInTime());
-                results.add(m);
+                results.add(new AttendanceLogEntry(s.getSessionToken(), s.getSessionName(), r.userId(), r.checkInTime()));
             }
         }
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Stream the students x sessions attendance matrix for the given sections (all sections when omitted)
+     * as CSV or NDJSON. The body is written while sections are still being computed.
+     */
+    @GetMapping("/reports/attendance")
+    public ResponseEntity<StreamingResponseBody> getAttendanceReport(
+            @RequestParam(required = false) List<String> sections,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        AttendanceReportService.Format reportFormat;
+        try {
+            reportFormat = AttendanceReportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<String> targets = (sections == null || sections.isEmpty())
+                ? attendanceReportService.allSections()
+                : sections;
+
+        MediaType contentType = reportFormat == AttendanceReportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = "attendance-report." + (reportFormat == AttendanceReportService.Format.CSV ? "csv" : "ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> attendanceReportService.write(targets, reportFormat, out));
+    }
+
     @RequestMapping(value = "/generate-token", method = RequestMethod.OPTIONS)
     public ResponseEntity<?> handleOptions() {
         return new ResponseEntity<>(HttpStatus.OK);
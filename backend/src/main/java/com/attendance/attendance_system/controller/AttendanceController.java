@@ -1,12 +1,17 @@
 package com.attendance.attendance_system.controller;
 
 import com.attendance.attendance_system.dto.AttendanceResponse;
+import com.attendance.attendance_system.dto.BatchCheckInRequest;
+import com.attendance.attendance_system.dto.BatchCheckInResult;
 import com.attendance.attendance_system.dto.TokenRequest;
 import com.attendance.attendance_system.service.AttendanceService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 
+import java.util.List;
+import java.util.Objects;
+
 @RestController
 @RequestMapping("/api/attendance")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -16,6 +21,7 @@ public class AttendanceController {
 
     private static final String SIMULATED_USER_HEADER = "X-User-Id";
     private static final String UNAUTHORIZED_USER = "unauthenticated";
+    private static final int MAX_BATCH_SIZE = 500;
 
     public AttendanceController(AttendanceService attendanceService) {
         this.attendanceService = attendanceService;
@@ -37,6 +43,37 @@ public class AttendanceController {
         return ResponseEntity.status(result.status()).body(result);
     }
 
+    /**
+     * Check-in for kiosk and handheld scanners that submit many scans at once,
+     * possibly after being offline. The header identifies the staff member operating
+     * the scanner, who must be listed in attendance.check-in.operators and is stored on
+     * every record they check in; each entry carries the student's userId.
+     */
+    @PostMapping("/check-in/batch")
+    public ResponseEntity<List<BatchCheckInResult>> checkInBatch(
+            @RequestHeader(value = SIMULATED_USER_HEADER, required = false) String userIdHeader,
+            @RequestBody BatchCheckInRequest request) {
+
+        if (userIdHeader == null || userIdHeader.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!attendanceService.isScannerOperator(userIdHeader)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        if (request.entries() == null || request.entries().isEmpty() || request.entries().size() > MAX_BATCH_SIZE
+                || request.entries().stream().anyMatch(Objects::isNull)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(attendanceService.checkInBatch(userIdHeader, request.entries()));
+    }
+
+    @RequestMapping(value = "/check-in/batch", method = RequestMethod.OPTIONS)
+    public ResponseEntity<?> handleOptionsCheckInBatch() {
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
     @RequestMapping(value = "/check-in", method = RequestMethod.OPTIONS)
     public ResponseEntity<?> handleOptionsCheckIn() {
         return new ResponseEntity<>(HttpStatus.OK);
@@ -0,0 +1,69 @@
+package com.attendance.attendance_system.controller;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import com.attendance.attendance_system.service.ChangeVersionService;
+import com.attendance.attendance_system.service.ResponseCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the responses for the admin views kept in the ResponseCacheService.
+ * The ETag is weak so Tomcat's own compression still applies, and Spring answers 304
+ * when the client's If-None-Match matches it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedViewResponses {
+
+    private final ResponseCacheService responseCacheService;
+    private final ChangeVersionService changeVersionService;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public ResponseEntity<byte[]> render(String view, long version, NativeWebRequest request, Supplier<?> loader) {
+        MediaType format = negotiate(request);
+
+        return ResponseEntity.ok()
+                .eTag(changeVersionService.eTag(view + "." + format.getSubtype(), version))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format)
+                .body(responseCacheService.get(view, version, format, loader));
+    }
+
+    /**
+     * Picks the first cached format the client accepts, in the order Spring MVC ranks the Accept header.
+     * Falls back to JSON when nothing matches or the header is unparseable, so existing clients keep
+     * getting what they always got.
+     */
+    private MediaType negotiate(NativeWebRequest request) {
+        List<MediaType> requested;
+        try {
+            requested = contentNegotiationManager.resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        for (MediaType type : requested) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : responseCacheService.formats()) {
+                if (type.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
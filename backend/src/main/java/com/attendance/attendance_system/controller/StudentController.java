@@ -3,9 +3,11 @@ package com.attendance.attendance_system.controller;
 import com.attendance.attendance_system.dto.SectionData;
 import com.attendance.attendance_system.model.User;
 import com.attendance.attendance_system.repository.UserRepository;
+import com.attendance.attendance_system.service.ChangeVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -14,11 +16,26 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:5173")
 public class StudentController {
 
+    private static final String SECTIONS_VIEW = "sections";
+
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    @Autowired
+    private CachedViewResponses cachedViewResponses;
 
+    /**
+     * Served from the response cache while the students version is unchanged.
+     * Accept: application/x-jackson-smile selects the compact encoding.
+     */
     @GetMapping("/sections")
-    public List<SectionData> getStudentsGroupedBySection() {
+    public ResponseEntity<byte[]> getStudentsGroupedBySection(NativeWebRequest request) {
+        return cachedViewResponses.render(SECTIONS_VIEW, changeVersionService.studentsVersion(),
+                request, this::groupStudentsBySection);
+    }
+
+    private List<SectionData> groupStudentsBySection() {
         List<User> allUsers = userRepository.findAll();
 
         Map<String, List<User>> groupedBySection = allUsers.stream()
@@ -45,7 +62,9 @@ public class StudentController {
 
         User user = userOptional.get();
         user.setSection(newSection);
-        return ResponseEntity.ok(userRepository.save(user));
+        User saved = userRepository.save(user);
+        changeVersionService.studentsChanged();
+        return ResponseEntity.ok(saved);
     }
     @PostMapping("/check-in")
     public ResponseEntity<String> markStudentPresent(@RequestParam String userId, @RequestParam String token) {
@@ -62,6 +81,7 @@ public class StudentController {
         }
 
         userRepository.save(user);
+        changeVersionService.studentsChanged();
         return ResponseEntity.ok("Attendance marked as present");
     }
 
@@ -3,6 +3,7 @@ package com.attendance.attendance_system.controller;
 
 import com.attendance.attendance_system.model.User;
 import com.attendance.attendance_system.repository.UserRepository;
+import com.attendance.attendance_system.service.ChangeVersionService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,8 @@ public class UserController {
     private UserRepository repo;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ChangeVersionService changeVersionService;
 
     @PostMapping("/signup")
     public User signup(@RequestBody User user) {
@@ -25,7 +28,9 @@ public class UserController {
             throw new RuntimeException("Email already in use.");
         }
         user.setSection("A");
-        return repo.save(user);
+        User saved = repo.save(user);
+        changeVersionService.studentsChanged();
+        return saved;
     }
 
     @PostMapping("/login")
@@ -0,0 +1,11 @@
+package com.attendance.attendance_system.dto;
+
+import java.time.LocalDateTime;
+
+public record AttendanceLogEntry(
+        String sessionToken,
+        String sessionName,
+        String userId,
+        LocalDateTime checkInTime
+) {
+}
@@ -0,0 +1,14 @@
+package com.attendance.attendance_system.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single scan captured by a kiosk or handheld scanner.
+ * scannedAt is optional; when missing the server time at submission is used.
+ */
+public record BatchCheckInEntry(
+        String userId,
+        String token,
+        LocalDateTime scannedAt
+) {
+}
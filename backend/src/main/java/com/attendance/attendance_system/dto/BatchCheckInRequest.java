@@ -0,0 +1,6 @@
+package com.attendance.attendance_system.dto;
+
+import java.util.List;
+
+public record BatchCheckInRequest(List<BatchCheckInEntry> entries) {
+}
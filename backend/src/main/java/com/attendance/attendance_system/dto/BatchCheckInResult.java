@@ -0,0 +1,10 @@
+package com.attendance.attendance_system.dto;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of one batch entry. message and status carry the same meaning
+ * as the AttendanceResponse returned by the single check-in endpoint.
+ */
+public record BatchCheckInResult(String userId, String token, String message, HttpStatus status) {
+}
@@ -0,0 +1,14 @@
+package com.attendance.attendance_system.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NDJSON header line for one section of the attendance report.
+ * Its sessions list gives the column order used by the student lines that follow.
+ */
+public record ReportSectionLine(String type, String section, List<Column> sessions) {
+
+    public record Column(String sessionToken, String sessionName, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.attendance.attendance_system.dto;
+
+/**
+ * NDJSON line for one student. present holds one '1' or '0' per session,
+ * in the column order of the preceding section line.
+ */
+public record ReportStudentLine(
+        String type,
+        String section,
+        String userId,
+        String name,
+        String email,
+        String present,
+        int attended,
+        int total,
+        double percentage
+) {
+}
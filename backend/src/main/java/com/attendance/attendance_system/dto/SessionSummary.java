@@ -0,0 +1,14 @@
+package com.attendance.attendance_system.dto;
+
+import java.time.LocalDateTime;
+
+public record SessionSummary(
+        String sessionId,
+        String sessionName,
+        String section,
+        String createdBy,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt,
+        boolean active
+) {
+}
@@ -2,6 +2,8 @@ package com.attendance.attendance_system.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
@@ -10,9 +12,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Document(collection = "sessions")
+// findBySection, and the report engine's findBySectionOrderByCreatedAtAsc without an in-memory sort
+@CompoundIndex(name = "section_created_idx", def = "{'section': 1, 'createdAt': -1}")
 public class Session {
     @Id
     private String id;                // MongoDB ID (auto-generated)
+    @Indexed(unique = true)
     private String sessionToken;      // Token shared with students
     private String sessionName;       // "Math Class - 5 Nov"
     private String section;           // e.g. "A"
@@ -2,6 +2,9 @@ package com.attendance.attendance_system.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,10 +16,17 @@ import java.util.List;
 
 @Data
 @Document(collection = "users")
+@CompoundIndexes({
+        // findBySection and the conditional push in AttendanceService.generateToken
+        @CompoundIndex(name = "section_session_idx", def = "{'section': 1, 'attendanceRecords.sessionId': 1}"),
+        // findByAttendanceRecordsSessionId (admin check-in lists)
+        @CompoundIndex(name = "session_present_idx", def = "{'attendanceRecords.sessionId': 1, 'attendanceRecords.present': 1}")
+})
 public class User implements UserDetails {
     @Id
     private String id;
     private String name;
+    @Indexed(unique = true, sparse = true)
     private String email;
     private String password;
     private String section;
@@ -82,6 +92,7 @@ public class User implements UserDetails {
         private String sessionName;
         private boolean present;
         private LocalDateTime joinTime;
+        private String checkedInBy;       // Scanner operator for batch check-ins, null for self check-in
 
         public AttendanceRecord(String sessionId, String sessionName, boolean present, LocalDateTime joinTime) {
             this.sessionId = sessionId;
@@ -3,12 +3,15 @@ package com.attendance.attendance_system.repository;
 import com.attendance.attendance_system.model.Session;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends MongoRepository<Session, String> {
     Optional<Session> findBySessionToken(String sessionToken);
+    List<Session> findBySessionTokenIn(Collection<String> sessionTokens);
     List<Session> findBySection(String section);
+    List<Session> findBySectionOrderByCreatedAtAsc(String section);
     List<Session> findByCreatedBy(String createdBy);
 }
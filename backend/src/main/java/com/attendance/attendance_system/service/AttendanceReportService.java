@@ -0,0 +1,231 @@
+package com.attendance.attendance_system.service;
+
+import com.attendance.attendance_system.dto.ReportSectionLine;
+import com.attendance.attendance_system.dto.ReportStudentLine;
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+import com.attendance.attendance_system.repository.SessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Builds the students x sessions attendance matrix for whole sections and streams it as CSV or NDJSON.
+ * Sections are computed in parallel on a fixed pool of report threads, each student's row is kept as a BitSet,
+ * and students are read through a projected cursor so full User documents are never materialized.
+ */
+@Service
+public class AttendanceReportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private final MongoTemplate mongoTemplate;
+    private final SessionRepository sessionRepository;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+    private final ExecutorService pool;
+
+    public AttendanceReportService(MongoTemplate mongoTemplate,
+                                   SessionRepository sessionRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${attendance.report.parallelism:4}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.sessionRepository = sessionRepository;
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "attendance-report-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public List<String> allSections() {
+        return mongoTemplate.findDistinct(new Query(), "section", User.class, String.class).stream()
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Writes the report in the order the sections were given. Up to attendance.report.parallelism sections
+     * are in flight at once, counting the one being written, so that is also how many section matrices a
+     * single report holds in memory no matter how many sections it covers. A parallelism of 1 computes and
+     * writes one section at a time.
+     */
+    public void write(List<String> sections, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Deque<Future<SectionMatrix>> window = new ArrayDeque<>();
+        Iterator<String> pending = sections.iterator();
+
+        try {
+            while (pending.hasNext() || !window.isEmpty()) {
+                while (pending.hasNext() && window.size() < parallelism) {
+                    String section = pending.next();
+                    window.add(pool.submit(() -> buildMatrix(section)));
+                }
+
+                // Stays in the window while awaited so the finally below still cancels it if this thread is interrupted
+                SectionMatrix matrix = await(window.peek());
+                window.remove();
+                if (format == Format.CSV) {
+                    writeCsv(matrix, writer);
+                } else {
+                    writeNdjson(matrix, writer);
+                }
+            }
+            writer.flush();
+        } finally {
+            // The client may disconnect mid-report. Interrupting the workers makes buildMatrix stop reading
+            // its cursor, and sections still queued behind them never start.
+            window.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private static SectionMatrix await(Future<SectionMatrix> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a report section");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Report section failed", e.getCause());
+        }
+    }
+
+    private SectionMatrix buildMatrix(String section) {
+        List<Session> sessions = sessionRepository.findBySectionOrderByCreatedAtAsc(section);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            columns.put(sessions.get(i).getSessionToken(), i);
+        }
+
+        Query query = new Query(Criteria.where("section").is(section));
+        query.fields().include("name", "email", "attendanceRecords.sessionId", "attendanceRecords.present");
+
+        List<StudentRow> rows = new ArrayList<>();
+        try (Stream<Document> students = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(User.class))) {
+            students.forEach(student -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Report for section " + section + " was cancelled");
+                }
+                BitSet present = new BitSet(sessions.size());
+                List<Document> records = student.getList("attendanceRecords", Document.class, List.of());
+                for (Document record : records) {
+                    Integer column = columns.get(record.getString("sessionId"));
+                    if (column != null && Boolean.TRUE.equals(record.getBoolean("present"))) {
+                        present.set(column);
+                    }
+                }
+                rows.add(new StudentRow(String.valueOf(student.get("_id")),
+                        student.getString("name"), student.getString("email"), present));
+            });
+        }
+
+        // Sorted here rather than in Mongo: a server-side sort would have to buffer the full documents
+        rows.sort(Comparator.comparing(StudentRow::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(StudentRow::userId));
+        return new SectionMatrix(section, sessions, rows);
+    }
+
+    private void writeCsv(SectionMatrix matrix, Writer writer) throws IOException {
+        StringBuilder line = new StringBuilder("section,userId,name,email");
+        for (Session session : matrix.sessions()) {
+            line.append(',').append(csv(session.getSessionName()));
+        }
+        line.append(",attended,total,percentage\n");
+        writer.write(line.toString());
+
+        int total = matrix.sessions().size();
+        for (StudentRow row : matrix.rows()) {
+            line.setLength(0);
+            line.append(csv(matrix.section())).append(',')
+                    .append(csv(row.userId())).append(',')
+                    .append(csv(row.name())).append(',')
+                    .append(csv(row.email()));
+            for (int i = 0; i < total; i++) {
+                line.append(row.present().get(i) ? ",1" : ",0");
+            }
+            int attended = row.present().cardinality();
+            line.append(',').append(attended)
+                    .append(',').append(total)
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", percentage(attended, total)))
+                    .append('\n');
+            writer.write(line.toString());
+        }
+
+        // Blank line between sections so each block opens cleanly in a spreadsheet
+        writer.write('\n');
+    }
+
+    private void writeNdjson(SectionMatrix matrix, Writer writer) throws IOException {
+        List<ReportSectionLine.Column> columns = matrix.sessions().stream()
+                .map(s -> new ReportSectionLine.Column(s.getSessionToken(), s.getSessionName(), s.getCreatedAt()))
+                .toList();
+        writer.write(objectMapper.writeValueAsString(new ReportSectionLine("section", matrix.section(), columns)));
+        writer.write('\n');
+
+        int total = matrix.sessions().size();
+        char[] marks = new char[total];
+        for (StudentRow row : matrix.rows()) {
+            for (int i = 0; i < total; i++) {
+                marks[i] = row.present().get(i) ? '1' : '0';
+            }
+            int attended = row.present().cardinality();
+            writer.write(objectMapper.writeValueAsString(new ReportStudentLine("student", matrix.section(),
+                    row.userId(), row.name(), row.email(), new String(marks),
+                    attended, total, percentage(attended, total))));
+            writer.write('\n');
+        }
+    }
+
+    private static double percentage(int attended, int total) {
+        return total == 0 ? 0.0 : Math.round(attended * 1000.0 / total) / 10.0;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record SectionMatrix(String section, List<Session> sessions, List<StudentRow> rows) {
+    }
+
+    private record StudentRow(String userId, String name, String email, BitSet present) {
+    }
+}
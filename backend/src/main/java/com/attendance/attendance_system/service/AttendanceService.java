@@ -1,12 +1,18 @@
 package com.attendance.attendance_system.service;
 
 import com.attendance.attendance_system.dto.AttendanceResponse;
+import com.attendance.attendance_system.dto.BatchCheckInEntry;
+import com.attendance.attendance_system.dto.BatchCheckInResult;
 import com.attendance.attendance_system.dto.CheckInRecord;
+import com.attendance.attendance_system.dto.SessionSummary;
 import com.attendance.attendance_system.dto.TokenResponse;
 import com.attendance.attendance_system.model.Session;
 import com.attendance.attendance_system.model.User;
 import com.attendance.attendance_system.repository.SessionRepository;
 import com.attendance.attendance_system.repository.UserRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -16,7 +22,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,15 +33,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AttendanceService {
 
+    // How far ahead of the server a handheld scanner's clock may run before its scans are rejected
+    static final Duration SCANNER_CLOCK_SKEW = Duration.ofMinutes(2);
+    // How long after a session expires a scanner that was offline may still upload its scans
+    static final Duration OFFLINE_UPLOAD_WINDOW = Duration.ofHours(1);
+
     private final UserRepository userRepository;
     private final SessionRepository sessionRepository;
     private final MongoTemplate mongoTemplate;
+    private final ChangeVersionService changeVersionService;
+    private final Clock clock;
+
+    // Emails of the staff accounts allowed to submit scanner batches; empty closes the batch endpoint
+    @Value("${attendance.check-in.operators:}")
+    private Set<String> scannerOperators = Set.of();
 
     // --- ADMIN METHODS ---
     public TokenResponse generateToken(String adminId, String section, String sessionName) {
         int durationMinutes = 5;
         String token = UUID.randomUUID().toString();
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
 
         // 1. Create and save the new Session record
         Session session = Session.builder()
@@ -46,6 +66,7 @@ public class AttendanceService {
                 .build();
 
         sessionRepository.save(session);
+        changeVersionService.sessionCreated(session);
 
         // 2. Prepare the query for all relevant users
         // This query selects:
@@ -64,25 +85,27 @@ public class AttendanceService {
 
         // Execute the single, conditional update
         mongoTemplate.updateMulti(conditionalPushQuery, pushUpdate, User.class);
+        changeVersionService.studentsChanged();
 
         return new TokenResponse(token, durationMinutes);
     }
 
 
     // --- USER METHODS ---
-    public List<Map<String, Object>> getActiveSessions() {
-        return sessionRepository.findAll().stream()
-                .map(session -> {
-                    Map<String, Object> sessionMap = new HashMap<>();
-                    sessionMap.put("sessionId", session.getId());
-                    sessionMap.put("sessionName", session.getSessionName());
-                    sessionMap.put("section", session.getSection());
-                    sessionMap.put("createdBy", session.getCreatedBy());
-                    sessionMap.put("createdAt", session.getCreatedAt());
-                    sessionMap.put("expiresAt", session.getExpiresAt());
-                    sessionMap.put("active", session.isActive());
-                    return sessionMap;
-                })
+    public List<SessionSummary> getActiveSessions() {
+        List<Session> sessions = sessionRepository.findAll();
+        changeVersionService.sessionsLoaded(sessions);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        return sessions.stream()
+                .map(session -> new SessionSummary(
+                        session.getId(),
+                        session.getSessionName(),
+                        session.getSection(),
+                        session.getCreatedBy(),
+                        session.getCreatedAt(),
+                        session.getExpiresAt(),
+                        session.isActive() && now.isBefore(session.getExpiresAt())))
                 .toList();
     }
 
@@ -94,7 +117,7 @@ public class AttendanceService {
 
         Session session = sessionOpt.get();
 
-        if (!session.isActive() || LocalDateTime.now().isAfter(session.getExpiresAt())) {
+        if (!session.isActive() || LocalDateTime.now(clock).isAfter(session.getExpiresAt())) {
             return new AttendanceResponse("Session has expired.", HttpStatus.FORBIDDEN);
         }
 
@@ -123,7 +146,7 @@ public class AttendanceService {
         }
 
         // --- Step 2: Perform the efficient update ---
-        LocalDateTime joinTime = LocalDateTime.now();
+        LocalDateTime joinTime = LocalDateTime.now(clock);
 
         Query query = new Query(Criteria.where("_id").is(userId)
                 .and("attendanceRecords.sessionId").is(token));
@@ -135,12 +158,169 @@ public class AttendanceService {
         var result = mongoTemplate.updateFirst(query, update, User.class);
 
         if (result.getModifiedCount() > 0) {
+            changeVersionService.studentsChanged();
             return new AttendanceResponse("Attendance recorded successfully for " + session.getSessionName(), HttpStatus.OK);
         } else {
             return new AttendanceResponse("Could not update attendance record. Try again.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // --- SCANNER METHODS ---
+
+    /**
+     * Scanner batches carry their own scan times, so only configured staff may submit them;
+     * a student could otherwise backdate check-ins for sessions they missed.
+     */
+    public boolean isScannerOperator(String userId) {
+        return userRepository.findById(userId)
+                .map(User::getEmail)
+                .filter(email -> scannerOperators.stream().anyMatch(operator -> operator.trim().equalsIgnoreCase(email)))
+                .isPresent();
+    }
+
+    /**
+     * Applies a batch of scans from a kiosk or handheld scanner operated by operatorId.
+     * All sessions are resolved with one lookup, all users with one read, and every
+     * accepted entry is written with a single unordered bulk update. Offline scans are
+     * accepted as long as scannedAt falls inside the session window and the batch arrives
+     * within OFFLINE_UPLOAD_WINDOW of the session expiring; scans slightly in the future
+     * (scanner clock skew) are treated as happening now.
+     * Each accepted record stores the operator in checkedInBy.
+     * Results are returned in the same order as the entries.
+     */
+    public List<BatchCheckInResult> checkInBatch(String operatorId, List<BatchCheckInEntry> entries) {
+        // Mongo stores dates with millisecond precision, keep joinTime comparable after the write
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MILLIS);
+
+        Set<String> tokens = entries.stream()
+                .map(BatchCheckInEntry::token)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Session> sessions = sessionRepository.findBySessionTokenIn(tokens).stream()
+                .collect(Collectors.toMap(Session::getSessionToken, s -> s, (first, second) -> first));
+
+        Set<String> userIds = entries.stream()
+                .map(BatchCheckInEntry::userId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> users = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+
+        BatchCheckInResult[] results = new BatchCheckInResult[entries.size()];
+        Map<Integer, LocalDateTime> pending = new LinkedHashMap<>();
+        Set<String> accepted = new HashSet<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        for (int i = 0; i < entries.size(); i++) {
+            BatchCheckInEntry entry = entries.get(i);
+
+            Session session = sessions.get(entry.token());
+            if (session == null) {
+                results[i] = batchResult(entry, "Invalid or unknown session token.", HttpStatus.NOT_FOUND);
+                continue;
+            }
+
+            if (now.isAfter(session.getExpiresAt().plus(OFFLINE_UPLOAD_WINDOW))) {
+                results[i] = batchResult(entry, "Scans for this session are no longer accepted.", HttpStatus.FORBIDDEN);
+                continue;
+            }
+
+            LocalDateTime scannedAt = entry.scannedAt() != null
+                    ? entry.scannedAt().truncatedTo(ChronoUnit.MILLIS)
+                    : now;
+            if (scannedAt.isAfter(now) && !scannedAt.isAfter(now.plus(SCANNER_CLOCK_SKEW))) {
+                scannedAt = now;
+            }
+
+            if (!session.isActive() || scannedAt.isAfter(session.getExpiresAt())) {
+                results[i] = batchResult(entry, "Session has expired.", HttpStatus.FORBIDDEN);
+                continue;
+            }
+            if (scannedAt.isBefore(session.getCreatedAt()) || scannedAt.isAfter(now)) {
+                results[i] = batchResult(entry, "Scan time is outside the session window.", HttpStatus.BAD_REQUEST);
+                continue;
+            }
+
+            User user = users.get(entry.userId());
+            if (user == null) {
+                results[i] = batchResult(entry, "User not found.", HttpStatus.NOT_FOUND);
+                continue;
+            }
+
+            Optional<User.AttendanceRecord> recordOpt = user.getAttendanceRecords().stream()
+                    .filter(r -> r.getSessionId().equals(entry.token()))
+                    .findFirst();
+
+            if (recordOpt.isEmpty()) {
+                results[i] = batchResult(entry, "No attendance record found for this session.", HttpStatus.NOT_FOUND);
+                continue;
+            }
+
+            // A scanner can read the same card twice in a row; only the first scan counts
+            if (recordOpt.get().isPresent() || !accepted.add(entry.userId() + "|" + entry.token())) {
+                results[i] = batchResult(entry, "You have already checked in.", HttpStatus.CONFLICT);
+                continue;
+            }
+
+            // Matching on present=false keeps a concurrent single check-in from being overwritten
+            Query query = new Query(Criteria.where("_id").is(entry.userId())
+                    .and("attendanceRecords").elemMatch(Criteria.where("sessionId").is(entry.token())
+                            .and("present").is(false)));
+
+            Update update = new Update()
+                    .set("attendanceRecords.$.present", true)
+                    .set("attendanceRecords.$.joinTime", scannedAt)
+                    .set("attendanceRecords.$.checkedInBy", operatorId);
+
+            bulk.updateOne(query, update);
+            pending.put(i, scannedAt);
+        }
+
+        if (pending.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        BulkWriteResult written = bulk.execute();
+        if (written.getModifiedCount() > 0) {
+            changeVersionService.studentsChanged();
+        }
+
+        if (written.getModifiedCount() == pending.size()) {
+            pending.keySet().forEach(i -> results[i] = batchResult(entries.get(i),
+                    "Attendance recorded successfully for " + sessions.get(entries.get(i).token()).getSessionName(),
+                    HttpStatus.OK));
+        } else {
+            // Some entries lost a race with another check-in; re-read those users to tell which ones
+            Map<String, User> current = new HashMap<>();
+            userRepository.findAllById(pending.keySet().stream().map(i -> entries.get(i).userId()).toList())
+                    .forEach(user -> current.put(user.getId(), user));
+
+            pending.forEach((i, joinTime) -> {
+                BatchCheckInEntry entry = entries.get(i);
+                Optional<User.AttendanceRecord> record = Optional.ofNullable(current.get(entry.userId()))
+                        .flatMap(user -> user.getAttendanceRecords().stream()
+                                .filter(r -> r.getSessionId().equals(entry.token()))
+                                .findFirst());
+
+                if (record.isPresent() && record.get().isPresent() && joinTime.equals(record.get().getJoinTime())) {
+                    results[i] = batchResult(entry,
+                            "Attendance recorded successfully for " + sessions.get(entry.token()).getSessionName(),
+                            HttpStatus.OK);
+                } else if (record.isPresent() && record.get().isPresent()) {
+                    results[i] = batchResult(entry, "You have already checked in.", HttpStatus.CONFLICT);
+                } else {
+                    results[i] = batchResult(entry, "Could not update attendance record. Try again.", HttpStatus.INTERNAL_SERVER_ERROR);
+                }
+            });
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private static BatchCheckInResult batchResult(BatchCheckInEntry entry, String message, HttpStatus status) {
+        return new BatchCheckInResult(entry.userId(), entry.token(), message, status);
+    }
+
     // --- ADMIN HELPER METHOD ---
     public List<CheckInRecord> getCheckInRecords(String sessionToken) {
         List<User> students = userRepository.findByAttendanceRecordsSessionId(sessionToken);
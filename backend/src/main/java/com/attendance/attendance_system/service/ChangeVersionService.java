@@ -0,0 +1,89 @@
+package com.attendance.attendance_system.service;
+
+import com.attendance.attendance_system.model.Session;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change-version counters for the admin read endpoints.
+ * A version only moves forward when the data behind a view changes, so the admin UI can
+ * revalidate with an ETag and the serialized response can be reused until the next change.
+ *
+ * The counters live in this process only and are bumped by the write paths in this application.
+ * That assumes a single application instance owning the database: a second instance, or an edit
+ * made directly in MongoDB, is not seen here and clients keep getting 304 for the old data until
+ * this instance changes the view itself or restarts.
+ */
+@Service
+public class ChangeVersionService {
+
+    // Versions restart at zero on boot, the boot time keeps old ETags from matching
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicLong sessionsVersion = new AtomicLong();
+    private final AtomicLong studentsVersion = new AtomicLong();
+
+    // Earliest known expiry of a session that was still active when last seen, in epoch millis
+    private final AtomicLong nextSessionExpiry = new AtomicLong(Long.MAX_VALUE);
+
+    private final Clock clock;
+
+    public ChangeVersionService(Clock clock) {
+        this.clock = clock;
+    }
+
+    public long sessionsVersion() {
+        long expiry = nextSessionExpiry.get();
+        // A session expiring changes its "active" flag, which counts as a change to the view
+        if (clock.millis() >= expiry && nextSessionExpiry.compareAndSet(expiry, Long.MAX_VALUE)) {
+            sessionsVersion.incrementAndGet();
+        }
+        return sessionsVersion.get();
+    }
+
+    public long studentsVersion() {
+        return studentsVersion.get();
+    }
+
+    public void sessionCreated(Session session) {
+        nextSessionExpiry.accumulateAndGet(toMillis(session.getExpiresAt()), Math::min);
+        sessionsVersion.incrementAndGet();
+    }
+
+    /**
+     * Called whenever the sessions view is rebuilt so the next expiry after the rebuild is tracked,
+     * including sessions created before this instance started.
+     */
+    public void sessionsLoaded(List<Session> sessions) {
+        long now = clock.millis();
+        sessions.stream()
+                .filter(Session::isActive)
+                .map(Session::getExpiresAt)
+                .filter(Objects::nonNull)
+                .mapToLong(this::toMillis)
+                .filter(expiresAt -> expiresAt > now)
+                .min()
+                .ifPresent(expiresAt -> nextSessionExpiry.accumulateAndGet(expiresAt, Math::min));
+    }
+
+    public void studentsChanged() {
+        studentsVersion.incrementAndGet();
+    }
+
+    /**
+     * Weak, since the same version goes out gzipped or not depending on the client, and Tomcat
+     * only compresses responses whose ETag is weak.
+     */
+    public String eTag(String view, long version) {
+        return "W/\"" + view + "-" + epoch + "-" + version + "\"";
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,79 @@
+package com.attendance.attendance_system.service;
+
+import com.attendance.attendance_system.config.WireFormatConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the serialized body of each admin view, in every wire format, together with the change version
+ * it was built from. A request for the same version is answered from memory without touching MongoDB;
+ * a new version loads the view once and serializes that one result into each format.
+ */
+@Service
+public class ResponseCacheService {
+
+    // Preference order: JSON stays the default for clients that accept anything
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final List<MediaType> formats;
+    private final Map<String, CachedView> views = new ConcurrentHashMap<>();
+
+    public ResponseCacheService(ObjectMapper objectMapper, MappingJackson2SmileHttpMessageConverter smileConverter) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(WireFormatConfig.APPLICATION_SMILE, smileConverter.getObjectMapper());
+        this.formats = List.copyOf(mappers.keySet());
+    }
+
+    /**
+     * The formats every cached view is kept in, most preferred first.
+     */
+    public List<MediaType> formats() {
+        return formats;
+    }
+
+    /**
+     * Returns the view's body in the given format, loading and serializing it again only when the
+     * cached copy is for another version.
+     */
+    public byte[] get(String view, long version, MediaType format, Supplier<?> loader) {
+        if (!mappers.containsKey(format)) {
+            throw new IllegalArgumentException("Unsupported format for the " + view + " view: " + format);
+        }
+
+        CachedView cached = views.get(view);
+        if (cached == null || cached.version() != version) {
+            cached = rebuild(view, version, loader);
+        }
+        return cached.bodies().get(format);
+    }
+
+    private CachedView rebuild(String view, long version, Supplier<?> loader) {
+        Object data = loader.get();
+
+        Map<MediaType, byte[]> bodies = new LinkedHashMap<>();
+        for (Map.Entry<MediaType, ObjectMapper> mapper : mappers.entrySet()) {
+            try {
+                bodies.put(mapper.getKey(), mapper.getValue().writeValueAsBytes(data));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize the " + view + " view as " + mapper.getKey(), e);
+            }
+        }
+        CachedView rebuilt = new CachedView(version, bodies);
+
+        // Two requests can rebuild at once; never replace a newer version with an older one
+        views.merge(view, rebuilt,
+                (existing, fresh) -> existing.version() > fresh.version() ? existing : fresh);
+        return rebuilt;
+    }
+
+    private record CachedView(long version, Map<MediaType, byte[]> bodies) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.attendance.attendance_system.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.attendance.attendance_system.config.WireFormatConfig;
+import com.attendance.attendance_system.support.MongoIntegrationTest;
+import com.attendance.attendance_system.support.TestClock;
+import com.attendance.attendance_system.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ETag revalidation of the cached admin views: 304 while nothing changed, a new ETag and body
+ * after a write through the application or once a session's expiresAt has passed.
+ */
+@AutoConfigureMockMvc
+class CachedAdminViewsTests extends MongoIntegrationTest {
+
+	@TestConfiguration
+	static class StoppedClock {
+
+		@Bean
+		@Primary
+		TestClock testClock() {
+			return new TestClock();
+		}
+	}
+
+	@Autowired
+	private TestClock clock;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+	private String studentId;
+
+	@BeforeEach
+	void seed() {
+		clearCollections();
+		studentId = mongoTemplate.insert(TestFixtures.user("Student", "student@example.com", "A")).getId();
+	}
+
+	@Test
+	void sectionsRevalidateUntilAStudentIsAssigned() throws Exception {
+		// The seed bypassed the application, so make the view reflect it first
+		assignSection("A");
+		String eTag = eTag("/api/students/sections");
+
+		mockMvc.perform(get("/api/students/sections").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+		assignSection("B");
+
+		mockMvc.perform(get("/api/students/sections").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andExpect(jsonPath("$[0].section").value("B"))
+				.andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag));
+	}
+
+	@Test
+	void generatingATokenChangesBothViews() throws Exception {
+		assignSection("A");
+		String sessionsETag = eTag("/api/admin/sessions");
+		String sectionsETag = eTag("/api/students/sections");
+
+		mockMvc.perform(post("/api/admin/generate-token").param("section", "A").param("sessionName", "Lecture"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/admin/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsETag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].sessionName").value("Lecture"))
+				.andExpect(jsonPath("$[0].active").value(true));
+		mockMvc.perform(get("/api/students/sections").header(HttpHeaders.IF_NONE_MATCH, sectionsETag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].students[0].attendanceRecords[0].sessionName").value("Lecture"));
+	}
+
+	@Test
+	void sessionsRevalidateToANewETagOnceASessionExpires() throws Exception {
+		// Inserted directly, as if created before this instance started: only the rebuild sees its expiry
+		LocalDateTime now = LocalDateTime.now(clock);
+		mongoTemplate.insert(TestFixtures.session("short-lived", "Short", "A", now, now.plusMinutes(1)));
+		mockMvc.perform(post("/api/admin/generate-token").param("section", "Z").param("sessionName", "Long"))
+				.andExpect(status().isOk());
+
+		String eTag = mockMvc.perform(get("/api/admin/sessions"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.sessionName == 'Short')].active").value(true))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/admin/sessions").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		clock.advance(Duration.ofMinutes(1));
+
+		mockMvc.perform(get("/api/admin/sessions").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.sessionName == 'Short')].active").value(false))
+				.andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag));
+	}
+
+	@Test
+	void smileIsNegotiatedFromTheAcceptHeaderWithItsOwnETag() throws Exception {
+		assignSection("A");
+		String jsonETag = eTag("/api/students/sections");
+
+		MvcResult json = mockMvc.perform(get("/api/students/sections")
+						.header(HttpHeaders.ACCEPT, "application/x-jackson-smile;q=0.5, application/json"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+				.andExpect(header().string(HttpHeaders.ETAG, jsonETag))
+				.andReturn();
+
+		MvcResult smile = mockMvc.perform(get("/api/students/sections")
+						.header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.5"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, WireFormatConfig.APPLICATION_SMILE.toString()))
+				.andExpect(result -> assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT))
+				.andReturn();
+		String smileETag = smile.getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Both formats come from the same load and carry the same data
+		assertThat(smileETag).isNotEqualTo(jsonETag);
+		assertThat(smileConverter.getObjectMapper().readTree(smile.getResponse().getContentAsByteArray()))
+				.isEqualTo(objectMapper.readTree(json.getResponse().getContentAsByteArray()));
+
+		mockMvc.perform(get("/api/students/sections")
+						.header(HttpHeaders.ACCEPT, WireFormatConfig.APPLICATION_SMILE.toString())
+						.header(HttpHeaders.IF_NONE_MATCH, smileETag))
+				.andExpect(status().isNotModified());
+		// Unknown or unparseable Accept headers still get JSON
+		mockMvc.perform(get("/api/students/sections").header(HttpHeaders.ACCEPT, "text/plain"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, jsonETag));
+	}
+
+	private void assignSection(String section) throws Exception {
+		mockMvc.perform(put("/api/students/assign/" + studentId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"newSection\":\"" + section + "\"}"))
+				.andExpect(status().isOk());
+	}
+
+	private String eTag(String path) throws Exception {
+		String eTag = mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).startsWith("W/\"").endsWith("\"");
+		return eTag;
+	}
+}
@@ -0,0 +1,165 @@
+package com.attendance.attendance_system.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Bytes on the wire and serialization CPU for the admin payloads, before (HashMap rows as JSON)
+ * and after (typed records as JSON or Smile, with and without gzip), measured through the
+ * application's own ObjectMapper and Smile converter. CBOR from the same builder is printed for
+ * comparison: it repeats every key, where Smile back-references names and short repeated values.
+ * Sizes are asserted; timings are printed since they depend on the machine. Run with -Pbenchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WireFormatBenchmarkTests {
+
+	private static final int ROWS = 5_000;
+	private static final int WARMUP = 20;
+	private static final int ITERATIONS = 50;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+	@Autowired
+	private Jackson2ObjectMapperBuilder builder;
+
+	private ObjectMapper smile;
+	private ObjectMapper cbor;
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+	@BeforeAll
+	void mappers() {
+		smile = smileConverter.getObjectMapper();
+		cbor = builder.factory(new CBORFactory()).build();
+	}
+
+	@Test
+	void attendanceLog() throws IOException {
+		List<Map<String, Object>> maps = new ArrayList<>();
+		List<AttendanceLogEntry> records = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+		for (int i = 0; i < ROWS; i++) {
+			String token = UUID.randomUUID().toString();
+			String userId = String.format("%024x", i);
+			LocalDateTime checkInTime = start.plusMinutes(i).plusNanos(123_000_000L);
+
+			Map<String, Object> m = new HashMap<>();
+			m.put("sessionToken", token);
+			m.put("sessionName", "Lecture " + (i % 40));
+			m.put("userId", userId);
+			m.put("checkInTime", checkInTime);
+			maps.add(m);
+			records.add(new AttendanceLogEntry(token, "Lecture " + (i % 40), userId, checkInTime));
+		}
+
+		compare("/api/admin/attendance", maps, records);
+	}
+
+	@Test
+	void sessions() throws IOException {
+		List<Map<String, Object>> maps = new ArrayList<>();
+		List<SessionSummary> records = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+		for (int i = 0; i < ROWS; i++) {
+			String id = String.format("%024x", i);
+			LocalDateTime createdAt = start.plusHours(i);
+
+			Map<String, Object> m = new HashMap<>();
+			m.put("sessionId", id);
+			m.put("sessionName", "Lecture " + i);
+			m.put("section", String.valueOf((char) ('A' + i % 6)));
+			m.put("createdBy", "admin");
+			m.put("createdAt", createdAt);
+			m.put("expiresAt", createdAt.plusMinutes(5));
+			m.put("active", false);
+			maps.add(m);
+			records.add(new SessionSummary(id, "Lecture " + i, String.valueOf((char) ('A' + i % 6)), "admin",
+					createdAt, createdAt.plusMinutes(5), false));
+		}
+
+		compare("/api/admin/sessions", maps, records);
+	}
+
+	private void compare(String endpoint, Object before, Object after) throws IOException {
+		byte[] mapJson = json.writeValueAsBytes(before);
+		byte[] recordJson = json.writeValueAsBytes(after);
+		byte[] recordCbor = cbor.writeValueAsBytes(after);
+		byte[] recordSmile = smile.writeValueAsBytes(after);
+
+		// Records must keep the field names and values clients already read from the map rows,
+		// and Smile clients must decode the same values, dates included
+		assertThat(json.readTree(recordJson)).isEqualTo(json.readTree(mapJson));
+		assertThat(smile.readTree(recordSmile)).isEqualTo(json.readTree(recordJson));
+
+		byte[] mapJsonGzip = gzip(mapJson);
+		byte[] recordJsonGzip = gzip(recordJson);
+		byte[] recordSmileGzip = gzip(recordSmile);
+		assertThat(recordSmile.length).isLessThan(recordCbor.length).isLessThan(mapJson.length);
+		assertThat(mapJsonGzip.length).isLessThan(mapJson.length);
+		assertThat(recordSmileGzip.length).isLessThan(recordSmile.length);
+
+		System.out.printf("%s, %d rows%n", endpoint, ROWS);
+		System.out.printf("  %-22s %10s %14s%n", "format", "bytes", "cpu us/op");
+		System.out.printf("  %-22s %10d %14.1f%n", "map json (before)", mapJson.length, cpuMicros(json, before, false));
+		System.out.printf("  %-22s %10d %14.1f%n", "map json + gzip", mapJsonGzip.length, cpuMicros(json, before, true));
+		System.out.printf("  %-22s %10d %14.1f%n", "record json", recordJson.length, cpuMicros(json, after, false));
+		System.out.printf("  %-22s %10d %14.1f%n", "record json + gzip", recordJsonGzip.length, cpuMicros(json, after, true));
+		System.out.printf("  %-22s %10d %14.1f%n", "record cbor", recordCbor.length, cpuMicros(cbor, after, false));
+		System.out.printf("  %-22s %10d %14.1f%n", "record smile", recordSmile.length, cpuMicros(smile, after, false));
+		System.out.printf("  %-22s %10d %14.1f%n", "record smile + gzip", recordSmileGzip.length, cpuMicros(smile, after, true));
+	}
+
+	private double cpuMicros(ObjectMapper mapper, Object payload, boolean compress) throws IOException {
+		for (int i = 0; i < WARMUP; i++) {
+			serialize(mapper, payload, compress);
+		}
+		long start = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			serialize(mapper, payload, compress);
+		}
+		return (threads.getCurrentThreadCpuTime() - start) / 1_000.0 / ITERATIONS;
+	}
+
+	private static byte[] serialize(ObjectMapper mapper, Object payload, boolean compress) throws IOException {
+		byte[] body = mapper.writeValueAsBytes(payload);
+		return compress ? gzip(body) : body;
+	}
+
+	private static byte[] gzip(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,356 @@
+package com.attendance.attendance_system.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import com.attendance.attendance_system.config.MongoIndexConfig;
+import com.attendance.attendance_system.dto.BatchCheckInEntry;
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+import com.attendance.attendance_system.service.AttendanceService;
+import com.attendance.attendance_system.support.MongoIntegrationTest;
+import com.attendance.attendance_system.support.TestFixtures;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Calls every hot repository method and MongoTemplate write, captures the command the driver actually
+ * sends, and runs it through explain() against the local Mongo. Fails when the winning plan scans the
+ * collection or examines more documents than the query should touch.
+ */
+class QueryPlanTests extends MongoIntegrationTest {
+
+	private static final int SECTIONS = 5;
+	private static final int STUDENTS_PER_SECTION = 100;
+	private static final int SESSIONS_PER_SECTION = 20;
+
+	// Only the parts of a captured command that shape the plan; driver fields like lsid and $db are dropped
+	private static final List<String> QUERY_FIELDS = List.of("filter", "sort", "projection", "limit", "skip", "hint");
+
+	@TestConfiguration
+	static class CaptureCommands {
+
+		@Bean
+		CommandCapture commandCapture() {
+			return new CommandCapture();
+		}
+
+		@Bean
+		MongoClientSettingsBuilderCustomizer captureCommandsCustomizer(CommandCapture commandCapture) {
+			return builder -> builder.addCommandListener(commandCapture);
+		}
+	}
+
+	static class CommandCapture implements CommandListener {
+
+		private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void commandStarted(CommandStartedEvent event) {
+			commands.add(event.getCommand().clone());
+		}
+
+		void clear() {
+			commands.clear();
+		}
+
+		List<String> names() {
+			return commands.stream().map(BsonDocument::getFirstKey).toList();
+		}
+
+		BsonDocument last(String commandName) {
+			for (int i = commands.size() - 1; i >= 0; i--) {
+				if (commands.get(i).getFirstKey().equals(commandName)) {
+					return commands.get(i);
+				}
+			}
+			throw new AssertionError("No " + commandName + " command was sent, captured " + commands);
+		}
+	}
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SessionRepository sessionRepository;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private MongoIndexConfig mongoIndexConfig;
+
+	@Autowired
+	private CommandCapture commandCapture;
+
+	private List<User> users;
+	private String sessionToken;
+
+	@BeforeAll
+	void seed() {
+		clearCollections();
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Session> sessions = new ArrayList<>();
+		users = new ArrayList<>();
+
+		for (int s = 0; s < SECTIONS; s++) {
+			String section = "S" + s;
+			List<Session> sectionSessions = new ArrayList<>();
+			for (int k = 0; k < SESSIONS_PER_SECTION; k++) {
+				sectionSessions.add(TestFixtures.session(section + "-token-" + k, section + " lecture " + k, section,
+						now.minusDays(k)));
+			}
+			sessions.addAll(sectionSessions);
+
+			for (int u = 0; u < STUDENTS_PER_SECTION; u++) {
+				User user = TestFixtures.user("Student " + section + "-" + u, section + "-" + u + "@example.com", section);
+				for (Session session : sectionSessions) {
+					user.addAttendanceSession(session.getSessionToken(), session.getSessionName(), u % 2 == 0, null);
+				}
+				users.add(user);
+			}
+		}
+
+		mongoTemplate.insertAll(sessions);
+		mongoTemplate.insertAll(users);
+
+		// S0-token-0 is the only session still open; odd-numbered students have not checked in yet
+		sessionToken = sessions.get(0).getSessionToken();
+	}
+
+	@BeforeEach
+	void clearCapturedCommands() {
+		commandCapture.clear();
+	}
+
+	@Test
+	void bootstrapCreatesUniqueIndexes() {
+		assertThat(mongoTemplate.indexOps(User.class).getIndexInfo())
+				.anyMatch(index -> index.isUnique() && index.isSparse() && index.isIndexForFields(List.of("email")));
+		assertThat(mongoTemplate.indexOps(Session.class).getIndexInfo())
+				.anyMatch(index -> index.isUnique() && index.isIndexForFields(List.of("sessionToken")));
+		assertThat(mongoTemplate.indexOps(User.class).getIndexInfo()).extracting(IndexInfo::getName)
+				.contains("section_session_idx", "session_present_idx");
+		assertThat(mongoTemplate.indexOps(Session.class).getIndexInfo()).extracting(IndexInfo::getName)
+				.contains("section_created_idx");
+	}
+
+	@Test
+	void bootstrapReportsDuplicateEmails() {
+		mongoTemplate.indexOps(User.class).dropIndex("email");
+		User duplicate = new User();
+		duplicate.setEmail(users.get(0).getEmail());
+		duplicate.setSection("S0");
+		mongoTemplate.insert(duplicate);
+
+		try {
+			assertThatThrownBy(mongoIndexConfig::afterSingletonsInstantiated)
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("users.email")
+					.hasMessageContaining(users.get(0).getEmail());
+		} finally {
+			mongoTemplate.remove(duplicate);
+			mongoIndexConfig.afterSingletonsInstantiated();
+		}
+	}
+
+	@Test
+	void bootstrapKeepsHandMadeIndexes() {
+		mongoTemplate.indexOps(User.class).dropIndex("email");
+		// What db.users.createIndex({email: 1}, {unique: true}) creates: default name, not sparse
+		mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class)).createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+
+		try {
+			mongoIndexConfig.afterSingletonsInstantiated();
+
+			assertThat(mongoTemplate.indexOps(User.class).getIndexInfo()).extracting(IndexInfo::getName)
+					.contains("email_1")
+					.doesNotContain("email");
+		} finally {
+			mongoTemplate.indexOps(User.class).dropIndex("email_1");
+			mongoIndexConfig.afterSingletonsInstantiated();
+		}
+	}
+
+	@Test
+	void bootstrapRejectsHandMadeIndexThatIsNotUnique() {
+		mongoTemplate.indexOps(User.class).dropIndex("email");
+		mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class)).createIndex(Indexes.ascending("email"));
+
+		try {
+			assertThatThrownBy(mongoIndexConfig::afterSingletonsInstantiated)
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("email_1")
+					.hasMessageContaining("not unique");
+		} finally {
+			mongoTemplate.indexOps(User.class).dropIndex("email_1");
+			mongoIndexConfig.afterSingletonsInstantiated();
+		}
+	}
+
+	@Test
+	void bootstrapSkipsDuplicateCheckWhenUniqueIndexExists() {
+		commandCapture.clear();
+		mongoIndexConfig.afterSingletonsInstantiated();
+
+		assertThat(commandCapture.names()).doesNotContain("aggregate", "createIndexes");
+	}
+
+	@Test
+	void userFindByEmail() {
+		userRepository.findByEmail(users.get(0).getEmail());
+		assertIndexed(explainFind(User.class), 1);
+	}
+
+	@Test
+	void userFindBySection() {
+		userRepository.findBySection("S1");
+		assertIndexed(explainFind(User.class), STUDENTS_PER_SECTION);
+	}
+
+	@Test
+	void userFindByAttendanceRecordsSessionId() {
+		userRepository.findByAttendanceRecordsSessionId(sessionToken);
+		assertIndexed(explainFind(User.class), STUDENTS_PER_SECTION);
+	}
+
+	@Test
+	void userFindByIdAndAttendanceRecordsSessionId() {
+		userRepository.findByIdAndAttendanceRecordsSessionId(users.get(0).getId(), sessionToken);
+		assertIndexed(explainFind(User.class), 1);
+	}
+
+	@Test
+	void sessionFindBySessionToken() {
+		sessionRepository.findBySessionToken(sessionToken);
+		assertIndexed(explainFind(Session.class), 1);
+	}
+
+	@Test
+	void sessionFindBySessionTokenIn() {
+		List<String> tokens = List.of("S0-token-0", "S1-token-3", "S4-token-7");
+		sessionRepository.findBySessionTokenIn(tokens);
+		assertIndexed(explainFind(Session.class), tokens.size());
+	}
+
+	@Test
+	void sessionFindBySection() {
+		sessionRepository.findBySection("S2");
+		assertIndexed(explainFind(Session.class), SESSIONS_PER_SECTION);
+	}
+
+	@Test
+	void sessionFindBySectionOrderByCreatedAtAsc() {
+		sessionRepository.findBySectionOrderByCreatedAtAsc("S2");
+		Document explain = explainFind(Session.class);
+
+		assertIndexed(explain, SESSIONS_PER_SECTION);
+		assertThat(stages(explain.get("queryPlanner", Document.class))).as("in-memory sort").doesNotContain("SORT");
+	}
+
+	@Test
+	void generateTokenConditionalPush() {
+		attendanceService.generateToken("admin", "S3", "new lecture");
+		assertIndexed(explainUpdate(User.class), STUDENTS_PER_SECTION);
+	}
+
+	@Test
+	void checkInPositionalUpdate() {
+		attendanceService.checkIn(sessionToken, users.get(1).getId());
+		assertIndexed(explainUpdate(User.class), 1);
+	}
+
+	@Test
+	void batchCheckInElemMatchUpdate() {
+		attendanceService.checkInBatch("admin", List.of(new BatchCheckInEntry(users.get(3).getId(), sessionToken, null)));
+		assertIndexed(explainUpdate(User.class), 1);
+	}
+
+	/**
+	 * Explains the last find the driver sent for the given document type.
+	 */
+	private Document explainFind(Class<?> type) {
+		BsonDocument captured = commandCapture.last("find");
+		String collection = mongoTemplate.getCollectionName(type);
+		assertThat(captured.getString("find").getValue()).isEqualTo(collection);
+
+		BsonDocument find = new BsonDocument("find", new BsonString(collection));
+		QUERY_FIELDS.stream()
+				.filter(captured::containsKey)
+				.forEach(field -> find.append(field, captured.get(field)));
+
+		return explain(find);
+	}
+
+	/**
+	 * Explains the first statement of the last update the driver sent for the given document type.
+	 * The update already ran, but its filter still selects the same documents through the same index.
+	 */
+	private Document explainUpdate(Class<?> type) {
+		BsonDocument captured = commandCapture.last("update");
+		String collection = mongoTemplate.getCollectionName(type);
+		assertThat(captured.getString("update").getValue()).isEqualTo(collection);
+
+		BsonDocument update = new BsonDocument("update", new BsonString(collection))
+				.append("updates", new BsonArray(List.of(captured.getArray("updates").get(0))));
+
+		return explain(update);
+	}
+
+	private Document explain(BsonDocument command) {
+		return mongoTemplate.getDb().runCommand(new BsonDocument("explain", command)
+				.append("verbosity", new BsonString("executionStats")));
+	}
+
+	private static void assertIndexed(Document explain, int maxDocsExamined) {
+		Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+		Number docsExamined = explain.get("executionStats", Document.class).get("totalDocsExamined", Number.class);
+
+		assertThat(stages(winningPlan)).as("winning plan %s", winningPlan.toJson())
+				.contains("IXSCAN_OR_IDHACK")
+				.doesNotContain("COLLSCAN");
+		assertThat(docsExamined.longValue()).as("documents examined").isLessThanOrEqualTo(maxDocsExamined);
+	}
+
+	/**
+	 * Collects every stage in a plan tree. IXSCAN, IDHACK and the 7.0+ EXPRESS_IXSCAN/EXPRESS_IDHACK stages
+	 * are reported as IXSCAN_OR_IDHACK so callers can check for index use regardless of server version.
+	 */
+	private static List<String> stages(Object node) {
+		List<String> stages = new ArrayList<>();
+		if (node instanceof Document doc) {
+			Object stage = doc.get("stage");
+			if (stage instanceof String name) {
+				stages.add(name);
+				if (name.contains("IXSCAN") || name.contains("IDHACK")) {
+					stages.add("IXSCAN_OR_IDHACK");
+				}
+			}
+			doc.values().forEach(value -> stages.addAll(stages(value)));
+		} else if (node instanceof List<?> list) {
+			list.forEach(value -> stages.addAll(stages(value)));
+		}
+		return stages;
+	}
+}
@@ -0,0 +1,224 @@
+package com.attendance.attendance_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+import com.attendance.attendance_system.repository.SessionRepository;
+import com.attendance.attendance_system.support.MongoIntegrationTest;
+import com.attendance.attendance_system.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks the exact CSV and NDJSON the report engine writes for a small seeded matrix, and times a
+ * full-size report (tagged benchmark, run with -Pbenchmark) at the requested and sequential parallelism.
+ */
+class AttendanceReportTests extends MongoIntegrationTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+	private static final int BENCHMARK_SECTIONS = 20;
+	private static final int BENCHMARK_STUDENTS_PER_SECTION = 500;
+	private static final int BENCHMARK_SESSIONS_PER_SECTION = 500;
+
+	@Autowired
+	private SessionRepository sessionRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AttendanceReportService attendanceReportService;
+
+	@BeforeEach
+	void clear() {
+		clearCollections();
+	}
+
+	@Test
+	void csvMatchesTheSeededMatrix() throws IOException {
+		seedSmallMatrix();
+
+		assertThat(report(AttendanceReportService.Format.CSV)).isEqualTo("""
+				section,userId,name,email,Lecture 1,"Lab, part 2",attended,total,percentage
+				A,000000000000000000000002,"Adams, Kim",kim@example.com,0,1,1,2,50.0
+				A,000000000000000000000003,Ben,ben@example.com,1,0,1,2,50.0
+				A,000000000000000000000001,Zoe,zoe@example.com,1,1,2,2,100.0
+
+				section,userId,name,email,Lecture B,attended,total,percentage
+				B,000000000000000000000004,Cara,cara@example.com,0,0,1,0.0
+
+				""");
+	}
+
+	@Test
+	void ndjsonMatchesTheSeededMatrix() throws IOException {
+		seedSmallMatrix();
+
+		assertThat(report(AttendanceReportService.Format.NDJSON)).isEqualTo("""
+				{"type":"section","section":"A","sessions":[\
+				{"sessionToken":"a1","sessionName":"Lecture 1","createdAt":"2026-09-01T09:00:00"},\
+				{"sessionToken":"a2","sessionName":"Lab, part 2","createdAt":"2026-09-02T09:00:00"}]}
+				{"type":"student","section":"A","userId":"000000000000000000000002","name":"Adams, Kim",\
+				"email":"kim@example.com","present":"01","attended":1,"total":2,"percentage":50.0}
+				{"type":"student","section":"A","userId":"000000000000000000000003","name":"Ben",\
+				"email":"ben@example.com","present":"10","attended":1,"total":2,"percentage":50.0}
+				{"type":"student","section":"A","userId":"000000000000000000000001","name":"Zoe",\
+				"email":"zoe@example.com","present":"11","attended":2,"total":2,"percentage":100.0}
+				{"type":"section","section":"B","sessions":[\
+				{"sessionToken":"b1","sessionName":"Lecture B","createdAt":"2026-09-01T10:00:00"}]}
+				{"type":"student","section":"B","userId":"000000000000000000000004","name":"Cara",\
+				"email":"cara@example.com","present":"0","attended":0,"total":1,"percentage":0.0}
+				""");
+	}
+
+	@Test
+	@Tag("benchmark")
+	void timedFullSizeReport() throws IOException {
+		seedBenchmarkMatrix();
+		List<String> sections = attendanceReportService.allSections();
+		assertThat(sections).hasSize(BENCHMARK_SECTIONS);
+
+		AttendanceReportService sequential = new AttendanceReportService(mongoTemplate, sessionRepository, objectMapper, 1);
+		try {
+			System.out.printf("attendance report, %d students x %d sessions%n",
+					BENCHMARK_SECTIONS * BENCHMARK_STUDENTS_PER_SECTION, BENCHMARK_SESSIONS_PER_SECTION);
+			System.out.printf("  %-22s %12s %10s%n", "run", "bytes", "ms");
+			for (AttendanceReportService.Format format : AttendanceReportService.Format.values()) {
+				// One header line per section plus a line per student; CSV also ends each section with a blank line
+				int linesPerSection = BENCHMARK_STUDENTS_PER_SECTION + (format == AttendanceReportService.Format.CSV ? 2 : 1);
+				time(format + " parallel", attendanceReportService, sections, format, BENCHMARK_SECTIONS * linesPerSection);
+				time(format + " sequential", sequential, sections, format, BENCHMARK_SECTIONS * linesPerSection);
+			}
+		} finally {
+			sequential.shutdown();
+		}
+	}
+
+	private String report(AttendanceReportService.Format format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		attendanceReportService.write(attendanceReportService.allSections(), format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Section A has two sessions, inserted newest first so the column order has to come from createdAt.
+	 * Kim still carries a record from section B, which must not show up in A's columns, and Ben joined
+	 * after a2 was created so he has no record for it at all.
+	 */
+	private void seedSmallMatrix() {
+		mongoTemplate.insert(TestFixtures.session("a2", "Lab, part 2", "A", START.plusDays(1)));
+		mongoTemplate.insert(TestFixtures.session("a1", "Lecture 1", "A", START));
+		mongoTemplate.insert(TestFixtures.session("b1", "Lecture B", "B", START.plusHours(1)));
+
+		User zoe = user(1, "Zoe", "zoe@example.com", "A");
+		zoe.addAttendanceSession("a1", "Lecture 1", true, START.plusMinutes(1));
+		zoe.addAttendanceSession("a2", "Lab, part 2", true, START.plusDays(1).plusMinutes(1));
+
+		User kim = user(2, "Adams, Kim", "kim@example.com", "A");
+		kim.addAttendanceSession("b1", "Lecture B", true, START.plusHours(1).plusMinutes(1));
+		kim.addAttendanceSession("a1", "Lecture 1", false, null);
+		kim.addAttendanceSession("a2", "Lab, part 2", true, START.plusDays(1).plusMinutes(2));
+
+		User ben = user(3, "Ben", "ben@example.com", "A");
+		ben.addAttendanceSession("a1", "Lecture 1", true, START.plusMinutes(3));
+
+		User cara = user(4, "Cara", "cara@example.com", "B");
+		cara.addAttendanceSession("b1", "Lecture B", false, null);
+
+		mongoTemplate.insertAll(List.of(zoe, kim, ben, cara));
+	}
+
+	/**
+	 * Inserted as raw documents in batches: mapping 10k users with 500 records each through the
+	 * converter would take longer than the report being measured.
+	 */
+	private void seedBenchmarkMatrix() {
+		List<Session> sessions = new ArrayList<>();
+		String users = mongoTemplate.getCollectionName(User.class);
+
+		for (int s = 0; s < BENCHMARK_SECTIONS; s++) {
+			String section = "S" + s;
+			for (int k = 0; k < BENCHMARK_SESSIONS_PER_SECTION; k++) {
+				sessions.add(TestFixtures.session(section + "-token-" + k, section + " lecture " + k, section, START.plusHours(k)));
+			}
+
+			List<Document> batch = new ArrayList<>();
+			for (int u = 0; u < BENCHMARK_STUDENTS_PER_SECTION; u++) {
+				List<Document> records = new ArrayList<>();
+				for (int k = 0; k < BENCHMARK_SESSIONS_PER_SECTION; k++) {
+					records.add(new Document("sessionId", section + "-token-" + k)
+							.append("sessionName", section + " lecture " + k)
+							.append("present", (u + k) % 3 != 0));
+				}
+				batch.add(new Document("name", "Student " + section + "-" + u)
+						.append("email", section + "-" + u + "@example.com")
+						.append("section", section)
+						.append("attendanceRecords", records));
+			}
+			mongoTemplate.getCollection(users).insertMany(batch);
+		}
+		mongoTemplate.insertAll(sessions);
+	}
+
+	private static void time(String run, AttendanceReportService service, List<String> sections,
+							 AttendanceReportService.Format format, int expectedLines) throws IOException {
+		CountingOutputStream out = new CountingOutputStream();
+		long start = System.nanoTime();
+		service.write(sections, format, out);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		assertThat(out.lines).as("%s lines", run).isEqualTo(expectedLines);
+		System.out.printf("  %-22s %12d %10d%n", run, out.bytes, millis);
+	}
+
+	/**
+	 * A user with a fixed id, so the expected reports can name it.
+	 */
+	private static User user(int id, String name, String email, String section) {
+		User user = TestFixtures.user(name, email, section);
+		user.setId(String.format("%024x", id));
+		return user;
+	}
+
+	/**
+	 * Discards the report but keeps count of its size, so the timing is not skewed by buffering it.
+	 */
+	private static class CountingOutputStream extends OutputStream {
+
+		private long bytes;
+		private long lines;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == '\n') {
+					lines++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package com.attendance.attendance_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.attendance.attendance_system.dto.BatchCheckInEntry;
+import com.attendance.attendance_system.dto.BatchCheckInResult;
+import com.attendance.attendance_system.model.User;
+import com.attendance.attendance_system.support.MongoIntegrationTest;
+import com.attendance.attendance_system.support.TestFixtures;
+
+/**
+ * Covers every result of AttendanceService.checkInBatch against the local Mongo, including
+ * single check-ins that land between validation and the bulk write.
+ */
+@TestPropertySource(properties = "attendance.check-in.operators=other@example.com, Staff@Example.com")
+@AutoConfigureMockMvc
+@MockitoSpyBean(types = MongoTemplate.class)
+class BatchCheckInTests extends MongoIntegrationTest {
+
+	private static final String CLOSED = "closed-token";
+	private static final String OPEN = "open-token";
+	private static final String STALE = "stale-token";
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private LocalDateTime now;
+	private String operatorId;
+	private String aliceId;
+	private String bobId;
+	private String outsiderId;
+
+	@BeforeEach
+	void seed() {
+		clearCollections();
+
+		now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+		// Closed 25 minutes ago: only offline scans from inside its window count
+		mongoTemplate.insert(TestFixtures.session(CLOSED, "Closed lecture", "A", now.minusMinutes(30), now.minusMinutes(25)));
+		mongoTemplate.insert(TestFixtures.session(OPEN, "Open lecture", "A", now.minusMinutes(1), now.plusMinutes(60)));
+		// Expired longer ago than a scanner may stay offline
+		mongoTemplate.insert(TestFixtures.session(STALE, "Stale lecture", "A", now.minusHours(3)));
+
+		operatorId = mongoTemplate.insert(TestFixtures.user("staff", "staff@example.com", "STAFF")).getId();
+
+		User alice = TestFixtures.user("alice", "alice@example.com", "A");
+		alice.addAttendanceSession(CLOSED, "Closed lecture", false, null);
+		alice.addAttendanceSession(OPEN, "Open lecture", false, null);
+		alice.addAttendanceSession(STALE, "Stale lecture", false, null);
+		aliceId = mongoTemplate.insert(alice).getId();
+
+		User bob = TestFixtures.user("bob", "bob@example.com", "A");
+		bob.addAttendanceSession(CLOSED, "Closed lecture", true, now.minusMinutes(28));
+		bob.addAttendanceSession(OPEN, "Open lecture", false, null);
+		bobId = mongoTemplate.insert(bob).getId();
+
+		outsiderId = mongoTemplate.insert(TestFixtures.user("outsider", "outsider@example.com", "B")).getId();
+	}
+
+	@Test
+	void offlineScanInsideWindowIsRecordedWithItsScanTimeAndOperator() {
+		LocalDateTime scannedAt = now.minusMinutes(27);
+
+		List<BatchCheckInResult> results = checkIn(new BatchCheckInEntry(aliceId, CLOSED, scannedAt));
+
+		assertThat(results).extracting(BatchCheckInResult::status).containsExactly(HttpStatus.OK);
+		assertThat(results.get(0).message()).isEqualTo("Attendance recorded successfully for Closed lecture");
+
+		User.AttendanceRecord record = record(aliceId, CLOSED);
+		assertThat(record.isPresent()).isTrue();
+		assertThat(record.getJoinTime()).isEqualTo(scannedAt);
+		assertThat(record.getCheckedInBy()).isEqualTo(operatorId);
+	}
+
+	@Test
+	void scanAfterExpiryIsForbidden() {
+		assertThat(checkIn(new BatchCheckInEntry(aliceId, CLOSED, now.minusMinutes(20))))
+				.extracting(BatchCheckInResult::status).containsExactly(HttpStatus.FORBIDDEN);
+		assertThat(checkIn(new BatchCheckInEntry(aliceId, CLOSED, null)))
+				.extracting(BatchCheckInResult::status).containsExactly(HttpStatus.FORBIDDEN);
+	}
+
+	@Test
+	void batchUploadedLongAfterExpiryIsForbidden() {
+		LocalDateTime scannedAt = now.minusHours(3).plusMinutes(1);
+
+		List<BatchCheckInResult> results = checkIn(new BatchCheckInEntry(aliceId, STALE, scannedAt));
+
+		assertThat(results).extracting(BatchCheckInResult::status).containsExactly(HttpStatus.FORBIDDEN);
+		assertThat(results.get(0).message()).isEqualTo("Scans for this session are no longer accepted.");
+		assertThat(record(aliceId, STALE).isPresent()).isFalse();
+	}
+
+	@Test
+	void scanBeforeSessionStartIsOutsideTheWindow() {
+		List<BatchCheckInResult> results = checkIn(new BatchCheckInEntry(aliceId, CLOSED, now.minusMinutes(35)));
+
+		assertThat(results).extracting(BatchCheckInResult::status).containsExactly(HttpStatus.BAD_REQUEST);
+		assertThat(record(aliceId, CLOSED).isPresent()).isFalse();
+	}
+
+	@Test
+	void scannerClockSlightlyAheadIsClampedToServerTime() {
+		List<BatchCheckInResult> results = checkIn(new BatchCheckInEntry(aliceId, OPEN, now.plusSeconds(30)));
+
+		assertThat(results).extracting(BatchCheckInResult::status).containsExactly(HttpStatus.OK);
+		assertThat(record(aliceId, OPEN).getJoinTime()).isBeforeOrEqualTo(LocalDateTime.now());
+	}
+
+	@Test
+	void scannerClockFarAheadIsOutsideTheWindow() {
+		LocalDateTime scannedAt = now.plus(AttendanceService.SCANNER_CLOCK_SKEW).plusMinutes(10);
+
+		assertThat(checkIn(new BatchCheckInEntry(aliceId, OPEN, scannedAt)))
+				.extracting(BatchCheckInResult::status).containsExactly(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void unknownTokenUserAndRecordAreNotFound() {
+		List<BatchCheckInResult> results = checkIn(
+				new BatchCheckInEntry(aliceId, "no-such-token", null),
+				new BatchCheckInEntry("000000000000000000000000", OPEN, null),
+				new BatchCheckInEntry(outsiderId, OPEN, null));
+
+		assertThat(results).extracting(BatchCheckInResult::message).containsExactly(
+				"Invalid or unknown session token.",
+				"User not found.",
+				"No attendance record found for this session.");
+		assertThat(results).extracting(BatchCheckInResult::status).containsOnly(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void alreadyPresentAndDuplicateScansConflict() {
+		List<BatchCheckInResult> results = checkIn(
+				new BatchCheckInEntry(bobId, CLOSED, now.minusMinutes(27)),
+				new BatchCheckInEntry(aliceId, OPEN, null),
+				new BatchCheckInEntry(aliceId, OPEN, null));
+
+		assertThat(results).extracting(BatchCheckInResult::status)
+				.containsExactly(HttpStatus.CONFLICT, HttpStatus.OK, HttpStatus.CONFLICT);
+		assertThat(results.get(0).message()).isEqualTo("You have already checked in.");
+		// Bob's original check-in is untouched
+		assertThat(record(bobId, CLOSED).getJoinTime()).isEqualTo(now.minusMinutes(28));
+	}
+
+	@Test
+	void concurrentSingleCheckInBeforeBulkWriteConflicts() {
+		LocalDateTime selfCheckIn = now.minusSeconds(5);
+		beforeBulkWrite(() -> mongoTemplate.updateFirst(
+				new Query(Criteria.where("_id").is(aliceId).and("attendanceRecords.sessionId").is(OPEN)),
+				new Update().set("attendanceRecords.$.present", true).set("attendanceRecords.$.joinTime", selfCheckIn),
+				User.class));
+
+		List<BatchCheckInResult> results = checkIn(
+				new BatchCheckInEntry(aliceId, OPEN, null),
+				new BatchCheckInEntry(bobId, OPEN, null));
+
+		// Bob's entry still goes through; Alice keeps her own check-in time
+		assertThat(results).extracting(BatchCheckInResult::status).containsExactly(HttpStatus.CONFLICT, HttpStatus.OK);
+		assertThat(record(aliceId, OPEN).getJoinTime()).isEqualTo(selfCheckIn);
+		assertThat(record(aliceId, OPEN).getCheckedInBy()).isNull();
+	}
+
+	@Test
+	void recordRemovedBeforeBulkWriteIsReportedAsFailed() {
+		beforeBulkWrite(() -> mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(aliceId)),
+				new Update().pull("attendanceRecords", new Document("sessionId", OPEN)), User.class));
+
+		assertThat(checkIn(new BatchCheckInEntry(aliceId, OPEN, null)))
+				.extracting(BatchCheckInResult::status).containsExactly(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	@Test
+	void endpointRejectsNullEntriesAndNonStaffOperators() throws Exception {
+		mockMvc.perform(post("/api/attendance/check-in/batch")
+						.header("X-User-Id", operatorId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[null]}"))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(post("/api/attendance/check-in/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[{\"userId\":\"" + aliceId + "\",\"token\":\"" + OPEN + "\"}]}"))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(post("/api/attendance/check-in/batch")
+						.header("X-User-Id", "000000000000000000000000")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[{\"userId\":\"" + aliceId + "\",\"token\":\"" + OPEN + "\"}]}"))
+				.andExpect(status().isForbidden());
+
+		// A registered student cannot check themselves in, backdated or not
+		mockMvc.perform(post("/api/attendance/check-in/batch")
+						.header("X-User-Id", aliceId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[{\"userId\":\"" + aliceId + "\",\"token\":\"" + CLOSED + "\","
+								+ "\"scannedAt\":\"" + now.minusMinutes(29) + "\"}]}"))
+				.andExpect(status().isForbidden());
+		assertThat(record(aliceId, CLOSED).isPresent()).isFalse();
+
+		mockMvc.perform(post("/api/attendance/check-in/batch")
+						.header("X-User-Id", operatorId)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"entries\":[{\"userId\":\"" + aliceId + "\",\"token\":\"" + OPEN + "\"}]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].status").value("OK"));
+	}
+
+	private List<BatchCheckInResult> checkIn(BatchCheckInEntry... entries) {
+		return attendanceService.checkInBatch(operatorId, List.of(entries));
+	}
+
+	/**
+	 * Runs the given write after checkInBatch has validated its entries but before the bulk write reaches Mongo.
+	 */
+	private void beforeBulkWrite(Runnable concurrentWrite) {
+		doAnswer(invocation -> {
+			BulkOperations bulk = spy((BulkOperations) invocation.callRealMethod());
+			doAnswer(execute -> {
+				concurrentWrite.run();
+				return execute.callRealMethod();
+			}).when(bulk).execute();
+			return bulk;
+		}).when(mongoTemplate).bulkOps(any(BulkOperations.BulkMode.class), eq(User.class));
+	}
+
+	private User.AttendanceRecord record(String userId, String token) {
+		return mongoTemplate.findById(userId, User.class).getAttendanceRecords().stream()
+				.filter(r -> r.getSessionId().equals(token))
+				.findFirst()
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,96 @@
+package com.attendance.attendance_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.support.TestClock;
+
+class ChangeVersionServiceTests {
+
+	private final TestClock clock = new TestClock();
+	private final ChangeVersionService versions = new ChangeVersionService(clock);
+
+	@Test
+	void eTagIsWeakAndCarriesViewAndVersion() {
+		assertThat(versions.eTag("sessions.json", 7)).matches("W/\"sessions\\.json-\\d+-7\"");
+	}
+
+	@Test
+	void studentsVersionMovesOnEveryChange() {
+		long before = versions.studentsVersion();
+
+		versions.studentsChanged();
+		versions.studentsChanged();
+
+		assertThat(versions.studentsVersion()).isEqualTo(before + 2);
+	}
+
+	@Test
+	void createdSessionBumpsNowAndAgainWhenItExpires() {
+		long before = versions.sessionsVersion();
+
+		versions.sessionCreated(session(now().plusMinutes(5), true));
+		long created = versions.sessionsVersion();
+		assertThat(created).isEqualTo(before + 1);
+
+		clock.advance(Duration.ofMinutes(5).minusMillis(1));
+		assertThat(versions.sessionsVersion()).isEqualTo(created);
+
+		clock.advance(Duration.ofMillis(1));
+		assertThat(versions.sessionsVersion()).isEqualTo(created + 1);
+		// The expiry is consumed: reading again does not bump a second time
+		assertThat(versions.sessionsVersion()).isEqualTo(created + 1);
+	}
+
+	@Test
+	void loadedSessionsScheduleTheEarliestFutureExpiryOnly() {
+		LocalDateTime now = now();
+		long before = versions.sessionsVersion();
+
+		versions.sessionsLoaded(List.of(
+				session(now.minusMinutes(5), true),
+				session(now.plusMinutes(1), false),
+				session(now.plusMinutes(2), true),
+				session(now.plusMinutes(10), true)));
+
+		// Past expiries and inactive sessions do not change the version
+		assertThat(versions.sessionsVersion()).isEqualTo(before);
+
+		clock.advance(Duration.ofMinutes(1));
+		assertThat(versions.sessionsVersion()).isEqualTo(before);
+
+		clock.advance(Duration.ofMinutes(1));
+		assertThat(versions.sessionsVersion()).isEqualTo(before + 1);
+		assertThat(versions.sessionsVersion()).isEqualTo(before + 1);
+	}
+
+	@Test
+	void earlierCreatedSessionWinsOverALaterLoadedExpiry() {
+		long before = versions.sessionsVersion();
+
+		versions.sessionsLoaded(List.of(session(now().plusMinutes(10), true)));
+		versions.sessionCreated(session(now().plusMinutes(5), true));
+
+		clock.advance(Duration.ofMinutes(5));
+		assertThat(versions.sessionsVersion()).isEqualTo(before + 2);
+	}
+
+	private LocalDateTime now() {
+		return LocalDateTime.now(clock);
+	}
+
+	private static Session session(LocalDateTime expiresAt, boolean active) {
+		return Session.builder()
+				.sessionToken("token")
+				.createdAt(expiresAt.minusMinutes(5))
+				.expiresAt(expiresAt)
+				.active(active)
+				.build();
+	}
+}
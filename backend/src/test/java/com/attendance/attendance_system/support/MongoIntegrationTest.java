@@ -0,0 +1,34 @@
+package com.attendance.attendance_system.support;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+
+/**
+ * Base for tests that run against the local MongoDB. All of them share one test database, kept apart
+ * from the application's own. Documents are removed rather than collections dropped, so the indexes
+ * MongoIndexConfig built when a (possibly cached) context started stay in place for the next class.
+ */
+@SpringBootTest(properties = "spring.data.mongodb.database=AttendanceTests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class MongoIntegrationTest {
+
+	@Autowired
+	protected MongoTemplate mongoTemplate;
+
+	protected void clearCollections() {
+		mongoTemplate.remove(new Query(), User.class);
+		mongoTemplate.remove(new Query(), Session.class);
+	}
+
+	@AfterAll
+	void clearAfterClass() {
+		clearCollections();
+	}
+}
@@ -0,0 +1,44 @@
+package com.attendance.attendance_system.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A clock that stands still until a test moves it, so expiry can be tested without sleeping.
+ */
+public class TestClock extends Clock {
+
+	private final ZoneId zone;
+	private volatile Instant now;
+
+	public TestClock() {
+		this(Instant.now().truncatedTo(ChronoUnit.MILLIS), ZoneId.systemDefault());
+	}
+
+	private TestClock(Instant now, ZoneId zone) {
+		this.now = now;
+		this.zone = zone;
+	}
+
+	public void advance(Duration duration) {
+		now = now.plus(duration);
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return zone;
+	}
+
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return new TestClock(now, zone);
+	}
+
+	@Override
+	public Instant instant() {
+		return now;
+	}
+}
@@ -0,0 +1,44 @@
+package com.attendance.attendance_system.support;
+
+import java.time.LocalDateTime;
+
+import com.attendance.attendance_system.model.Session;
+import com.attendance.attendance_system.model.User;
+
+/**
+ * Builders for the documents the tests seed, with the fields no test cares about filled in.
+ */
+public final class TestFixtures {
+
+	private TestFixtures() {
+	}
+
+	public static Session session(String token, String name, String section,
+								  LocalDateTime createdAt, LocalDateTime expiresAt) {
+		return Session.builder()
+				.sessionToken(token)
+				.sessionName(name)
+				.section(section)
+				.createdBy("admin")
+				.createdAt(createdAt)
+				.expiresAt(expiresAt)
+				.active(true)
+				.build();
+	}
+
+	/**
+	 * A session that stayed open for the usual five minutes.
+	 */
+	public static Session session(String token, String name, String section, LocalDateTime createdAt) {
+		return session(token, name, section, createdAt, createdAt.plusMinutes(5));
+	}
+
+	public static User user(String name, String email, String section) {
+		User user = new User();
+		user.setName(name);
+		user.setEmail(email);
+		user.setPassword("secret");
+		user.setSection(section);
+		return user;
+	}
+}